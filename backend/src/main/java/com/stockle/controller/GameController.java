@@ -4,8 +4,11 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stockle.model.DailyPuzzle;
 import com.stockle.model.Stock;
+import com.stockle.practice.PracticeTokens;
 import com.stockle.repository.DailyPuzzleRepository;
 import com.stockle.repository.StockRepository;
+import com.stockle.store.PriceHistoryStore;
+import com.stockle.store.PriceSeries;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,6 +21,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 @RestController
@@ -27,13 +32,19 @@ public class GameController {
 
     private final StockRepository stockRepo;
     private final DailyPuzzleRepository puzzles;
+    private final PriceHistoryStore priceStore;
+    private final PracticeTokens practiceTokens;
     private final ObjectMapper objectMapper;
 
     public GameController(
             StockRepository stockRepository,
-            DailyPuzzleRepository dailyPuzzleRepository) {
+            DailyPuzzleRepository dailyPuzzleRepository,
+            PriceHistoryStore priceHistoryStore,
+            PracticeTokens practiceTokens) {
         this.stockRepo = stockRepository;
         this.puzzles = dailyPuzzleRepository;
+        this.priceStore = priceHistoryStore;
+        this.practiceTokens = practiceTokens;
         this.objectMapper = new ObjectMapper();
     }
 
@@ -102,6 +113,10 @@ public class GameController {
         Stock stock = stockRepo.findById(puzzle.getTicker()).orElse(null);
         if (stock == null) return ResponseEntity.internalServerError().body(Map.of("error", "puzzle stock not found"));
 
+        return ResponseEntity.ok(buildHint(stock, level));
+    }
+
+    private Map<String, Object> buildHint(Stock stock, int level) {
         Map<String, Object> response = new HashMap<>();
         response.put("level", level);
 
@@ -109,7 +124,7 @@ public class GameController {
         if (level >= 2) response.put("industry", stock.getIndustry());
         if (level >= 3) response.put("ticker", stock.getTicker());
 
-        return ResponseEntity.ok(response);
+        return response;
     }
 
     @GetMapping("/puzzle/today/chart")
@@ -200,7 +215,11 @@ public class GameController {
             ));
         }
 
-        boolean correct = ticker.equalsIgnoreCase(target.getTicker());
+        return ResponseEntity.ok(compareGuess(guess, target));
+    }
+
+    private Map<String, Object> compareGuess(Stock guess, Stock target) {
+        boolean correct = guess.getTicker().equalsIgnoreCase(target.getTicker());
         Map<String, Object> comparisons = new HashMap<>();
 
         comparisons.put("sector", Map.of(
@@ -261,7 +280,7 @@ public class GameController {
         response.put("guess", guessInfo);
         response.put("comparisons", comparisons);
 
-        return ResponseEntity.ok(response);
+        return response;
     }
 
     private String compareStrings(String guessed, String target) {
@@ -334,6 +353,90 @@ public class GameController {
         return result;
     }
 
+    // Practice mode: unlimited games on any stock in the price store, identified by an opaque token
+
+    @PostMapping("/practice/new")
+    public ResponseEntity<?> newPracticeGame() {
+        Set<String> stored = priceStore.tickers();
+        List<Stock> playable = stockRepo.findAll().stream()
+                .filter(stock -> stored.contains(stock.getTicker()))
+                .collect(Collectors.toList());
+        if (playable.isEmpty()) {
+            return ResponseEntity.status(503).body(Map.of("error", "practice mode unavailable"));
+        }
+
+        Stock stock = playable.get(ThreadLocalRandom.current().nextInt(playable.size()));
+        return ResponseEntity.ok(Map.of("token", practiceTokens.encode(stock.getTicker())));
+    }
+
+    @GetMapping("/practice/{token}/chart")
+    public ResponseEntity<?> getPracticeChart(@PathVariable String token) {
+        String ticker = practiceTokens.decode(token);
+        if (ticker == null) return ResponseEntity.notFound().build();
+
+        PriceSeries series = priceStore.find(ticker);
+        if (series == null || series.size() == 0) {
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", "No price history available"));
+        }
+
+        List<Map<String, Object>> chartData = new ArrayList<>(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            chartData.add(Map.of(
+                    "time", series.date(i).toString(),
+                    "value", series.close(i)
+            ));
+        }
+
+        return ResponseEntity.ok(Map.of("data", chartData));
+    }
+
+    @GetMapping("/practice/{token}/hint")
+    public ResponseEntity<?> getPracticeHint(@PathVariable String token, @RequestParam int level) {
+        Stock stock = findPracticeStock(token);
+        if (stock == null) return ResponseEntity.notFound().build();
+
+        return ResponseEntity.ok(buildHint(stock, level));
+    }
+
+    @GetMapping("/practice/{token}/answer")
+    public ResponseEntity<?> getPracticeAnswer(@PathVariable String token) {
+        Stock stock = findPracticeStock(token);
+        if (stock == null) return ResponseEntity.notFound().build();
+
+        return ResponseEntity.ok(Map.of(
+                "ticker", stock.getTicker(),
+                "name", stock.getCompanyName()
+        ));
+    }
+
+    @PostMapping("/practice/{token}/guess")
+    public ResponseEntity<?> submitPracticeGuess(@PathVariable String token, @RequestBody Map<String, String> request) {
+        String ticker = request.get("ticker");
+        if (ticker == null || ticker.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "ticker is required"));
+        }
+
+        Stock target = findPracticeStock(token);
+        if (target == null) return ResponseEntity.notFound().build();
+
+        Stock guess = stockRepo.findById(ticker.toUpperCase()).orElse(null);
+        if (guess == null) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Stock not found",
+                    "ticker", ticker.toUpperCase()
+            ));
+        }
+
+        return ResponseEntity.ok(compareGuess(guess, target));
+    }
+
+    private Stock findPracticeStock(String token) {
+        String ticker = practiceTokens.decode(token);
+        if (ticker == null) return null;
+        return stockRepo.findById(ticker).orElse(null);
+    }
+
     @PostMapping("/stats/submit")
     public ResponseEntity<?> submitStats(@RequestBody Map<String, Object> request) {
         Integer guessCount = (Integer) request.get("guessCount");
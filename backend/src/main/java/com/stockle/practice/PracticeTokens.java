@@ -0,0 +1,85 @@
+package com.stockle.practice;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Opaque practice game tokens. The ticker is encrypted into the token itself so any
+ * backend replica can serve the game without storing it, and players can't read the answer out of it.
+ */
+@Component
+public class PracticeTokens {
+
+    private static final int IV_SIZE = 12;
+    private static final int TAG_BITS = 128;
+
+    private static final Logger log = LoggerFactory.getLogger(PracticeTokens.class);
+
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    public PracticeTokens(@Value("${stockle.practice.token-secret:}") String secret) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            // No shared secret configured, tokens only work on this instance until it restarts
+            log.warn("PRACTICE_TOKEN_SECRET is not set, practice tokens will only be accepted by this instance");
+            keyBytes = new byte[32];
+            random.nextBytes(keyBytes);
+        } else {
+            try {
+                keyBytes = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+    }
+
+    public String encode(String ticker) {
+        byte[] iv = new byte[IV_SIZE];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(ticker.getBytes(StandardCharsets.US_ASCII));
+
+            byte[] token = new byte[IV_SIZE + encrypted.length];
+            System.arraycopy(iv, 0, token, 0, IV_SIZE);
+            System.arraycopy(encrypted, 0, token, IV_SIZE, encrypted.length);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Returns the ticker for a token, or null if the token is malformed or was not issued with this key. */
+    public String decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (bytes.length <= IV_SIZE) return null;
+
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, bytes, 0, IV_SIZE));
+            byte[] ticker = cipher.doFinal(bytes, IV_SIZE, bytes.length - IV_SIZE);
+            return new String(ticker, StandardCharsets.US_ASCII);
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+    }
+}
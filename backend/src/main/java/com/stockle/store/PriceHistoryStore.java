@@ -0,0 +1,148 @@
+package com.stockle.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Memory-mapped OHLCV history for every ticker in the universe, written by the data fetcher.
+ *
+ * File layout (little-endian):
+ *   header  16 bytes  magic "STKP", version, ticker count, record stride
+ *   index   24 bytes per ticker: ticker (12 bytes ASCII, zero padded), record offset (long), record count (int)
+ *   records 44 bytes each: epoch day (int), open, high, low, close (double), volume (long)
+ *
+ * The fetcher replaces the file atomically, so a changed modification time means a new file
+ * and it is remapped on the next lookup. Mappings of the previous file stay valid until collected.
+ * A file that can't be read is logged and skipped, and the previous mapping keeps serving.
+ */
+@Component
+public class PriceHistoryStore {
+
+    static final int MAGIC = 0x504B5453; // "STKP"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int INDEX_ENTRY_SIZE = 24;
+    static final int TICKER_SIZE = 12;
+    static final int RECORD_STRIDE = 44;
+
+    private static final Logger log = LoggerFactory.getLogger(PriceHistoryStore.class);
+
+    private final Path path;
+    private volatile Snapshot snapshot;
+    private volatile FileTime rejected;
+
+    public PriceHistoryStore(@Value("${stockle.price-store.path}") String path) {
+        this.path = Path.of(path);
+    }
+
+    /** Returns the series for a ticker, or null if the store is missing or doesn't contain it. */
+    public PriceSeries find(String ticker) {
+        Snapshot current = current();
+        if (current == null) return null;
+
+        Entry entry = current.index.get(ticker);
+        if (entry == null) return null;
+
+        ByteBuffer records = current.buffer
+                .slice(entry.offset, entry.count * RECORD_STRIDE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        return new PriceSeries(records, entry.count);
+    }
+
+    /** Tickers that have at least one day of history in the store, empty if the store is missing. */
+    public Set<String> tickers() {
+        Snapshot current = current();
+        return current != null ? current.index.keySet() : Set.of();
+    }
+
+    private Snapshot current() {
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(path);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.error("Could not stat price store {}", path, e);
+            return snapshot;
+        }
+
+        Snapshot current = snapshot;
+        if (current != null && current.modified.equals(modified)) return current;
+        if (modified.equals(rejected)) return current;
+
+        synchronized (this) {
+            if ((snapshot == null || !snapshot.modified.equals(modified)) && !modified.equals(rejected)) {
+                try {
+                    snapshot = load(modified);
+                } catch (IOException | IllegalStateException e) {
+                    // Remember the bad file so it isn't re-read on every request until it is replaced
+                    log.error("Could not load price store {}, keeping previous data", path, e);
+                    rejected = modified;
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    private Snapshot load(FileTime modified) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("not a price store file: " + path);
+        }
+        if (buffer.getInt(4) != VERSION || buffer.getInt(12) != RECORD_STRIDE) {
+            throw new IllegalStateException("unsupported price store version in " + path);
+        }
+
+        int count = buffer.getInt(8);
+        if (count < 0 || HEADER_SIZE + (long) count * INDEX_ENTRY_SIZE > buffer.capacity()) {
+            throw new IllegalStateException("price store index truncated in " + path);
+        }
+
+        Map<String, Entry> index = new HashMap<>(count * 2);
+        byte[] tickerBytes = new byte[TICKER_SIZE];
+        for (int i = 0; i < count; i++) {
+            int pos = HEADER_SIZE + i * INDEX_ENTRY_SIZE;
+            buffer.get(pos, tickerBytes);
+            int length = 0;
+            while (length < TICKER_SIZE && tickerBytes[length] != 0) length++;
+
+            String ticker = new String(tickerBytes, 0, length, StandardCharsets.US_ASCII);
+            long offset = buffer.getLong(pos + TICKER_SIZE);
+            int records = buffer.getInt(pos + TICKER_SIZE + 8);
+            if (offset < 0 || records < 0 || offset + (long) records * RECORD_STRIDE > buffer.capacity()) {
+                throw new IllegalStateException("price store index out of bounds for " + ticker + " in " + path);
+            }
+            // An empty series can't be played, leave it out so it is never handed out as a practice game
+            if (records == 0) continue;
+            index.put(ticker, new Entry((int) offset, records));
+        }
+
+        return new Snapshot(modified, buffer, Map.copyOf(index));
+    }
+
+    private record Entry(int offset, int count) {}
+
+    private record Snapshot(FileTime modified, ByteBuffer buffer, Map<String, Entry> index) {}
+}
@@ -0,0 +1,54 @@
+package com.stockle.store;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * Read-only view over one ticker's OHLCV records inside the mapped price store.
+ * Values are read straight out of the mapping, nothing is copied onto the heap.
+ */
+public class PriceSeries {
+
+    private final ByteBuffer records;
+    private final int size;
+
+    PriceSeries(ByteBuffer records, int size) {
+        this.records = records;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public LocalDate date(int i) {
+        return LocalDate.ofEpochDay(records.getInt(offset(i)));
+    }
+
+    public double open(int i) {
+        return records.getDouble(offset(i) + 4);
+    }
+
+    public double high(int i) {
+        return records.getDouble(offset(i) + 12);
+    }
+
+    public double low(int i) {
+        return records.getDouble(offset(i) + 20);
+    }
+
+    public double close(int i) {
+        return records.getDouble(offset(i) + 28);
+    }
+
+    public long volume(int i) {
+        return records.getLong(offset(i) + 36);
+    }
+
+    private int offset(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("record " + i + " out of range for series of size " + size);
+        }
+        return i * PriceHistoryStore.RECORD_STRIDE;
+    }
+}
@@ -0,0 +1,161 @@
+package com.stockle.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes files in the layout produced by data-fetcher/fetcher.py (build_price_store) and reads them back.
+ * The layout is spelled out here rather than taken from PriceHistoryStore so a change on either side shows up.
+ */
+class PriceHistoryStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsSeriesWrittenInFetcherLayout() throws IOException {
+        Path file = dir.resolve("price_history.bin");
+        Map<String, List<Day>> series = new LinkedHashMap<>();
+        series.put("AAPL", List.of(
+                new Day(LocalDate.of(2024, 1, 2), 185.64, 188.44, 183.89, 185.85, 82488700L),
+                new Day(LocalDate.of(2024, 1, 3), 184.22, 185.88, 183.43, 184.25, 58414500L)));
+        series.put("DEAD", List.of());
+        series.put("BRK-B", List.of(
+                new Day(LocalDate.of(2023, 12, 29), 357.0, 358.5, 355.1, 356.66, 3_000_000_000L)));
+        writeStore(file, series);
+
+        PriceHistoryStore store = new PriceHistoryStore(file.toString());
+
+        assertEquals(Set.of("AAPL", "BRK-B"), store.tickers());
+        assertNull(store.find("DEAD"));
+        assertNull(store.find("MSFT"));
+
+        PriceSeries aapl = store.find("AAPL");
+        assertEquals(2, aapl.size());
+        assertEquals(LocalDate.of(2024, 1, 3), aapl.date(1));
+        assertEquals(184.22, aapl.open(1));
+        assertEquals(185.88, aapl.high(1));
+        assertEquals(183.43, aapl.low(1));
+        assertEquals(184.25, aapl.close(1));
+        assertEquals(58414500L, aapl.volume(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> aapl.close(2));
+
+        PriceSeries brk = store.find("BRK-B");
+        assertEquals(1, brk.size());
+        assertEquals(LocalDate.of(2023, 12, 29), brk.date(0));
+        assertEquals(356.66, brk.close(0));
+        assertEquals(3_000_000_000L, brk.volume(0));
+    }
+
+    @Test
+    void remapsWhenFileIsReplaced() throws IOException {
+        Path file = dir.resolve("price_history.bin");
+        writeStore(file, Map.of("AAPL", List.of(new Day(LocalDate.of(2024, 1, 2), 1, 1, 1, 1.5, 10))));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000));
+
+        PriceHistoryStore store = new PriceHistoryStore(file.toString());
+        assertEquals(1.5, store.find("AAPL").close(0));
+
+        writeStore(file, Map.of("MSFT", List.of(new Day(LocalDate.of(2024, 1, 2), 1, 1, 1, 2.5, 10))));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(2_000_000));
+
+        assertEquals(Set.of("MSFT"), store.tickers());
+        assertEquals(2.5, store.find("MSFT").close(0));
+    }
+
+    @Test
+    void keepsPreviousDataWhenReplacementIsInvalid() throws IOException {
+        Path file = dir.resolve("price_history.bin");
+        writeStore(file, Map.of("AAPL", List.of(new Day(LocalDate.of(2024, 1, 2), 1, 1, 1, 1.5, 10))));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000));
+
+        PriceHistoryStore store = new PriceHistoryStore(file.toString());
+        assertEquals(Set.of("AAPL"), store.tickers());
+
+        replace(file, "not a price store".getBytes(StandardCharsets.US_ASCII));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(2_000_000));
+
+        assertEquals(Set.of("AAPL"), store.tickers());
+        assertEquals(1.5, store.find("AAPL").close(0));
+    }
+
+    @Test
+    void treatsMissingOrInvalidFileAsEmpty() throws IOException {
+        Path file = dir.resolve("price_history.bin");
+        PriceHistoryStore store = new PriceHistoryStore(file.toString());
+        assertEquals(Set.of(), store.tickers());
+
+        // Header claims one ticker but the index entry is cut off
+        ByteBuffer truncated = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN);
+        truncated.put("STKP".getBytes(StandardCharsets.US_ASCII)).putInt(1).putInt(1).putInt(44);
+        replace(file, truncated.array());
+
+        assertEquals(Set.of(), store.tickers());
+        assertNull(store.find("AAPL"));
+    }
+
+    @Test
+    void rejectsNegativeRecordCount() throws IOException {
+        Path file = dir.resolve("price_history.bin");
+        ByteBuffer buffer = ByteBuffer.allocate(16 + 24).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("STKP".getBytes(StandardCharsets.US_ASCII)).putInt(1).putInt(1).putInt(44);
+        buffer.put(Arrays.copyOf("AAPL".getBytes(StandardCharsets.US_ASCII), 12)).putLong(40).putInt(-1);
+        replace(file, buffer.array());
+
+        PriceHistoryStore store = new PriceHistoryStore(file.toString());
+        assertEquals(Set.of(), store.tickers());
+        assertNull(store.find("AAPL"));
+    }
+
+    private record Day(LocalDate date, double open, double high, double low, double close, long volume) {}
+
+    // Header: magic, version, ticker count, stride. Index: 12 byte ticker, offset, count. Records: 44 bytes.
+    private static void writeStore(Path file, Map<String, List<Day>> series) throws IOException {
+        int days = series.values().stream().mapToInt(List::size).sum();
+        int base = 16 + 24 * series.size();
+        ByteBuffer buffer = ByteBuffer.allocate(base + 44 * days).order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.put("STKP".getBytes(StandardCharsets.US_ASCII)).putInt(1).putInt(series.size()).putInt(44);
+
+        long offset = base;
+        for (Map.Entry<String, List<Day>> entry : series.entrySet()) {
+            buffer.put(Arrays.copyOf(entry.getKey().getBytes(StandardCharsets.US_ASCII), 12));
+            buffer.putLong(offset).putInt(entry.getValue().size());
+            offset += 44L * entry.getValue().size();
+        }
+
+        for (List<Day> history : series.values()) {
+            for (Day day : history) {
+                buffer.putInt((int) day.date().toEpochDay())
+                        .putDouble(day.open()).putDouble(day.high()).putDouble(day.low()).putDouble(day.close())
+                        .putLong(day.volume());
+            }
+        }
+
+        replace(file, buffer.array());
+    }
+
+    // Replace by rename like the fetcher does, truncating a file that is still mapped would fault reads of it
+    private static void replace(Path file, byte[] bytes) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmp, bytes);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
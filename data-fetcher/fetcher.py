@@ -1,5 +1,6 @@
 import os
 import json
+import struct
 from datetime import date
 import yfinance as yf
 import psycopg2
@@ -16,6 +17,15 @@ DB_CONFIG = {
     "password": os.getenv("DB_PASSWORD")
 }
 
+# Memory-mapped price store read by the backend for practice mode (layout in PriceHistoryStore.java)
+PRICE_STORE_PATH = os.getenv("PRICE_STORE_PATH", "price_history.bin")
+STORE_MAGIC = b"STKP"
+STORE_VERSION = 1
+STORE_HEADER = struct.Struct("<4siii")    # magic, version, ticker count, record stride
+STORE_INDEX_ENTRY = struct.Struct("<12sqi")  # ticker, record offset, record count
+STORE_RECORD = struct.Struct("<i4dq")     # epoch day, open, high, low, close, volume
+EPOCH = date(1970, 1, 1)
+
 # Top 250 US stocks by market cap
 TICKERS = [
     "AAPL", "MSFT", "GOOGL", "AMZN", "NVDA", "META", "TSLA", "BRK-B", "LLY", "V",
@@ -200,6 +210,59 @@ def set_daily_puzzle(conn):
     print(f"\nDaily puzzle set: {ticker} for {today}\n")
 
 
+def build_price_store():
+    """Write 5yr OHLCV history for every ticker into one fixed-stride binary file."""
+    print("=" * 50)
+    print("STEP 3: Building price history store")
+    print("=" * 50)
+
+    # One batched request for the whole universe instead of a history call per ticker
+    try:
+        history = yf.download(TICKERS, period="5y", group_by="ticker", auto_adjust=True, progress=False)
+    except Exception as e:
+        print(f"Error: {e}, keeping existing store.")
+        return
+
+    entries = []
+    records = bytearray()
+    for ticker in TICKERS:
+        if ticker not in history.columns.get_level_values(0):
+            print(f"{ticker}: no data, skipped")
+            continue
+
+        rows = history[ticker][["Open", "High", "Low", "Close", "Volume"]].dropna()
+        # Rate-limited or delisted symbols come back empty rather than raising
+        if rows.empty:
+            print(f"{ticker}: no data, skipped")
+            continue
+
+        start = len(records)
+        for dt, open_, high, low, close, volume in rows.itertuples():
+            records += STORE_RECORD.pack(
+                (dt.date() - EPOCH).days,
+                round(open_, 2), round(high, 2), round(low, 2), round(close, 2),
+                int(volume)
+            )
+        entries.append((ticker, start, len(rows)))
+
+    if not entries:
+        print("Error: No price history fetched, keeping existing store.")
+        return
+
+    base = STORE_HEADER.size + STORE_INDEX_ENTRY.size * len(entries)
+
+    # Write next to the target and rename so the backend never maps a half-written file
+    tmp_path = PRICE_STORE_PATH + ".tmp"
+    with open(tmp_path, "wb") as f:
+        f.write(STORE_HEADER.pack(STORE_MAGIC, STORE_VERSION, len(entries), STORE_RECORD.size))
+        for ticker, start, count in entries:
+            f.write(STORE_INDEX_ENTRY.pack(ticker.encode("ascii"), base + start, count))
+        f.write(records)
+    os.replace(tmp_path, PRICE_STORE_PATH)
+
+    print(f"\nPrice store written to {PRICE_STORE_PATH}: {len(entries)} tickers, {len(records) // STORE_RECORD.size} days.\n")
+
+
 def main():
     if not DB_CONFIG["password"]:
         print("Error: DB_PASSWORD not set.")
@@ -216,6 +279,10 @@ def main():
     set_daily_puzzle(conn)
 
     conn.close()
+
+    # Step 3: Rebuild the practice mode price store
+    build_price_store()
+
     print("=" * 50)
     print("DONE!")
     print("=" * 50)